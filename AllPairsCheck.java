@@ -0,0 +1,195 @@
+/* Program Title: All-Pairs Shortest Paths Check
+
+    Description: Regression check for the AllPairs class in GraphLists.java.
+    Random undirected graphs with zero-weight edges and more than one 64 x 64 block are solved with
+    both blocked Floyd-Warshall and repeated Dijkstra. The distances are compared with a plain
+    Floyd-Warshall, and every reconstructed path is checked against the edges of the graph.
+    Paths longer than Integer.MAX_VALUE must come out as INF rather than overflowing, negative
+    weights must be rejected, and a saved file must read back with its header and both tables.
+
+    Compile and run together with GraphLists.java:
+        javac GraphLists.java AllPairsCheck.java
+        java AllPairsCheck
+*/
+
+import java.io.*;
+import java.util.*;
+
+@SuppressWarnings("auxiliaryclass")
+public class AllPairsCheck {
+    public static void main(String[] args) throws IOException {
+        Random rnd = new Random(42);
+        int[][] sizes = { {70, 300}, {150, 600}, {150, 8000}, {200, 2000} };
+
+        for (int[] size : sizes) {
+            for (int trial = 0; trial < 5; trial++)
+                check(size[0], size[1], rnd);
+        }
+
+        checkOverflow();
+        checkNegative();
+        checkSave(rnd);
+
+        System.out.println("AllPairs check passed");
+    }
+
+    private static void check(int V, int E, Random rnd) {
+        int[] eu = new int[E], ev = new int[E], ew = new int[E];
+        int[][] w = new int[V + 1][V + 1]; // lightest edge between u and v
+        for (int[] row : w)
+            Arrays.fill(row, AllPairs.INF);
+
+        // weights 0..49 so there are many zero-weight edges and tied paths
+        for (int e = 0; e < E; e++) {
+            eu[e] = 1 + rnd.nextInt(V);
+            do {
+                ev[e] = 1 + rnd.nextInt(V);
+            } while (ev[e] == eu[e]);
+            ew[e] = rnd.nextInt(50);
+            w[eu[e]][ev[e]] = w[ev[e]][eu[e]] = Math.min(w[eu[e]][ev[e]], ew[e]);
+        }
+
+        int[][] ref = reference(V, w);
+        int[][] l = lists(V, eu, ev, ew);
+
+        for (boolean floyd : new boolean[] { true, false }) {
+            AllPairs ap = new AllPairs(V, eu.length, l[0], l[1], l[2], true, floyd);
+            String name = (floyd ? "Floyd-Warshall" : "Dijkstra") + " V=" + V + " E=" + E;
+
+            for (int u = 1; u <= V; u++) {
+                for (int v = 1; v <= V; v++) {
+                    if (ap.dist(u, v) != ref[u][v])
+                        throw new RuntimeException(name + ": dist " + u + "->" + v + " = " + ap.dist(u, v) + ", expected " + ref[u][v]);
+
+                    int[] p = ap.path(u, v);
+                    if (ref[u][v] == AllPairs.INF) {
+                        if (p.length != 0)
+                            throw new RuntimeException(name + ": path " + u + "->" + v + " should be empty");
+                        continue;
+                    }
+                    if (p[0] != u || p[p.length - 1] != v)
+                        throw new RuntimeException(name + ": path " + u + "->" + v + " has wrong end points");
+
+                    int sum = 0;
+                    for (int i = 0; i + 1 < p.length; i++) {
+                        if (w[p[i]][p[i + 1]] == AllPairs.INF)
+                            throw new RuntimeException(name + ": path " + u + "->" + v + " uses a missing edge");
+                        sum += w[p[i]][p[i + 1]];
+                    }
+                    if (sum != ref[u][v])
+                        throw new RuntimeException(name + ": path " + u + "->" + v + " has length " + sum + ", expected " + ref[u][v]);
+                }
+            }
+        }
+    }
+
+    // a chain of 1e9 weight edges: two steps fit in an int, three do not
+    private static void checkOverflow() {
+        int V = 6;
+        int[] eu = { 1, 2, 3, 4, 5 }, ev = { 2, 3, 4, 5, 6 };
+        int[] ew = new int[5];
+        Arrays.fill(ew, 1000000000);
+        int[][] l = lists(V, eu, ev, ew);
+
+        for (boolean floyd : new boolean[] { true, false }) {
+            AllPairs ap = new AllPairs(V, eu.length, l[0], l[1], l[2], true, floyd);
+            String name = (floyd ? "Floyd-Warshall" : "Dijkstra") + " overflow";
+
+            for (int u = 1; u <= V; u++) {
+                for (int v = 1; v <= V; v++) {
+                    long expected = 1000000000L * Math.abs(u - v);
+                    int d = ap.dist(u, v);
+                    if (expected < AllPairs.INF ? d != expected : d != AllPairs.INF)
+                        throw new RuntimeException(name + ": dist " + u + "->" + v + " = " + d);
+                }
+            }
+        }
+    }
+
+    private static void checkNegative() {
+        try {
+            int[][] l = lists(3, new int[] { 1, 2 }, new int[] { 2, 3 }, new int[] { 4, -1 });
+            new AllPairs(3, 2, l[0], l[1], l[2], true, true);
+            throw new RuntimeException("negative weight was accepted");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    // save() then read the file back as big-endian ints
+    private static void checkSave(Random rnd) throws IOException {
+        int V = 100, E = 400;
+        int[] eu = new int[E], ev = new int[E], ew = new int[E];
+        for (int e = 0; e < E; e++) {
+            eu[e] = 1 + rnd.nextInt(V);
+            ev[e] = 1 + rnd.nextInt(V);
+            ew[e] = rnd.nextInt(50);
+        }
+        int[][] l = lists(V, eu, ev, ew);
+        AllPairs ap = new AllPairs(V, E, l[0], l[1], l[2], true, true);
+
+        File f = File.createTempFile("apsp", ".bin");
+        try {
+            ap.save(f);
+            if (f.length() != 8L + 8L * V * V)
+                throw new RuntimeException("saved file has length " + f.length());
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+                if (in.readInt() != V || in.readInt() != 1)
+                    throw new RuntimeException("saved file has a bad header");
+                for (int u = 1; u <= V; u++)
+                    for (int v = 1; v <= V; v++)
+                        if (in.readInt() != ap.dist(u, v))
+                            throw new RuntimeException("saved dist " + u + "->" + v + " differs");
+                // the predecessor of v on the path from u is the second last vertex of path(u, v)
+                for (int u = 1; u <= V; u++) {
+                    for (int v = 1; v <= V; v++) {
+                        int p = in.readInt();
+                        int[] path = ap.path(u, v);
+                        int expected = path.length == 0 ? -1 : path.length == 1 ? u : path[path.length - 2];
+                        if (p != expected)
+                            throw new RuntimeException("saved pred " + u + "->" + v + " differs");
+                    }
+                }
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    // adjacency lists in the flat layout built by Graph.APSP(): first, target, weight
+    private static int[][] lists(int V, int[] eu, int[] ev, int[] ew) {
+        int E = eu.length;
+        int[] first = new int[V + 2], target = new int[2 * E], weight = new int[2 * E];
+        int[] deg = new int[V + 2];
+        for (int e = 0; e < E; e++) {
+            deg[eu[e]]++;
+            deg[ev[e]]++;
+        }
+        for (int v = 1; v <= V; v++)
+            first[v + 1] = first[v] + deg[v];
+        int[] fill = Arrays.copyOf(first, V + 2);
+        for (int e = 0; e < E; e++) {
+            target[fill[eu[e]]] = ev[e];
+            weight[fill[eu[e]]++] = ew[e];
+            target[fill[ev[e]]] = eu[e];
+            weight[fill[ev[e]]++] = ew[e];
+        }
+        return new int[][] { first, target, weight };
+    }
+
+    // plain O(V^3) Floyd-Warshall on a 2D matrix
+    private static int[][] reference(int V, int[][] w) {
+        int[][] d = new int[V + 1][];
+        for (int u = 1; u <= V; u++) {
+            d[u] = w[u].clone();
+            d[u][u] = 0;
+        }
+        for (int k = 1; k <= V; k++)
+            for (int i = 1; i <= V; i++)
+                for (int j = 1; j <= V; j++)
+                    if (d[i][k] != AllPairs.INF && d[k][j] != AllPairs.INF && d[i][k] + d[k][j] < d[i][j])
+                        d[i][j] = d[i][k] + d[k][j];
+        return d;
+    }
+}
@@ -11,12 +11,18 @@
     The program consists of the following classes:
     1. Graph: Represents the graph and contains the methods for MST using Prim's algorithm and SPT using Dijkstra's algorithm.
     2. Heap: Implements a binary heap data structure for priority queue operations.
-    3. GraphLists: Contains the main method to read the graph from a file and display the MST and shortest paths.
+    3. AllPairs: Computes the all-pairs shortest path distance matrix, with optional next-hop tables.
+    4. GraphLists: Contains the main method to read the graph from a file and display the MST and shortest paths.
 
 */
 
 import java.io.*;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 //class representing a heap data structure
 class Heap {
@@ -80,6 +86,12 @@ class Heap {
         siftUp(N);
     }
 
+    //empties the heap so it can be reused with the same dist array
+    public void clear() {
+        N = 0;
+        Arrays.fill(hPos, 0);
+    }
+
     //removes and returns the minimum element form the heap
     public int remove() {
         int v = a[1];
@@ -283,6 +295,27 @@ public void MST_Prim(int s) {
         return minIndex;
     }
 
+    // All-pairs shortest paths over the adjacency lists.
+    // The lists are flattened into arrays so the worker threads never touch Node objects.
+    public AllPairs APSP(boolean paths) {
+        int[] first = new int[V + 2]; // edges of v are at first[v] .. first[v+1]-1
+        int[] target = new int[2 * E];
+        int[] weight = new int[2 * E];
+        int i = 0;
+
+        for (int v = 1; v <= V; ++v) {
+            first[v] = i;
+            for (Node n = adj[v]; n != z; n = n.next) {
+                target[i] = n.vert;
+                weight[i] = n.wgt;
+                i++;
+            }
+        }
+        first[V + 1] = i;
+
+        return new AllPairs(V, E, first, target, weight, paths);
+    }
+
    // Depth-first traversal using recursion
 public void DFS(int s) 
 {
@@ -345,6 +378,384 @@ private void DFSUtil(int v, boolean[] visited)
 
 }
 
+//class computing shortest path distances between every pair of vertices
+//dense graphs use a cache-blocked Floyd-Warshall on a flat V*V matrix,
+//sparse graphs run a heap-based Dijkstra from every source; both run in parallel.
+//Edge weights must be non-negative; a path of length Integer.MAX_VALUE or more is
+//reported as INF, the same as an unreachable vertex.
+class AllPairs {
+    public static final int INF = Integer.MAX_VALUE;
+
+    // B x B blocks of ints fit comfortably in the L1/L2 cache
+    private static final int B = 64;
+    // below this many rows or blocks a task is not worth splitting further
+    private static final int GRAIN = 4;
+    // bytes mapped at a time by save(), a single mapping cannot exceed 2 GB
+    private static final int WINDOW = 1 << 30;
+
+    private int V, E;
+    private int[] first, target, weight;  // adjacency lists in flat arrays
+    private int[] dist;                    // dist[(u-1)*V + (v-1)] = shortest distance u to v
+    private int[] pred;                    // pred[(u-1)*V + (v-1)] = vertex before v on the path from u, or -1
+    private boolean floyd;                 // which algorithm was chosen
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public AllPairs(int _V, int _E, int[] _first, int[] _target, int[] _weight, boolean paths) {
+        this(_V, _E, _first, _target, _weight, paths, denseEnough(_V, _E));
+    }
+
+    // picks the algorithm explicitly instead of by density
+    AllPairs(int _V, int _E, int[] _first, int[] _target, int[] _weight, boolean paths, boolean useFloyd) {
+        V = _V;
+        E = _E;
+        first = _first;
+        target = _target;
+        weight = _weight;
+        floyd = useFloyd;
+
+        // the matrix is a single int[] so V*V has to fit in an array index
+        if ((long) V * V > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many vertices for a distance matrix: " + V);
+
+        // both algorithms, and the overflow-safe relaxations below, rely on this
+        for (int e = first[1]; e < first[V + 1]; e++) {
+            if (weight[e] < 0)
+                throw new IllegalArgumentException("Negative edge weight: " + weight[e]);
+        }
+
+        dist = new int[V * V];
+        if (paths)
+            pred = new int[V * V];
+
+        if (floyd)
+            floydWarshall();
+        else
+            dijkstraAll();
+    }
+
+    // Floyd-Warshall is O(V^3) but streams through memory in cache-sized blocks,
+    // Dijkstra from every source is O(V E log V) with scattered accesses.
+    // Favour Floyd-Warshall once the graph is dense enough for the two to be close.
+    private static boolean denseEnough(int V, int E) {
+        double log = Math.log(Math.max(V, 2)) / Math.log(2);
+        return (double) V * V <= 4.0 * E * log;
+    }
+
+    public boolean usedFloydWarshall() {
+        return floyd;
+    }
+
+    // shortest distance from u to v, INF if v cannot be reached
+    public int dist(int u, int v) {
+        return dist[(u - 1) * V + (v - 1)];
+    }
+
+    // vertices on a shortest path from u to v, empty if v cannot be reached.
+    // The path is rebuilt backwards through row u only, so every step comes from
+    // the same shortest path tree even when zero-weight edges give tied paths.
+    public int[] path(int u, int v) {
+        if (pred == null)
+            throw new IllegalStateException("Predecessor table was not computed");
+        if (dist(u, v) == INF)
+            return new int[0];
+
+        int row = (u - 1) * V;
+        int[] back = new int[V];
+        int n = 0;
+
+        back[n++] = v;
+        while (v != u) {
+            v = pred[row + v - 1];
+            // a shortest path never has more than V vertices
+            if (v == -1 || n == V)
+                throw new IllegalStateException("Predecessor table is not a tree for source " + u);
+            back[n++] = v;
+        }
+
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++)
+            a[i] = back[n - 1 - i];
+        return a;
+    }
+
+    // the raw row-major matrix, vertex u is row u-1
+    public int[] matrix() {
+        return dist;
+    }
+
+    // write the matrices to a memory-mapped file so other processes can map them
+    // without parsing. The file is big-endian ints: V, then 1 if the predecessor table
+    // follows or 0 if not, then the V*V distance matrix row by row with INF for
+    // unreachable pairs, then the V*V predecessor table if it was computed.
+    public void save(File f) throws IOException {
+        long matrix = 4L * V * V;
+        long size = 8L + (pred != null ? 2 * matrix : matrix);
+
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw");
+             FileChannel ch = raf.getChannel()) {
+            raf.setLength(size);
+            writeInts(ch, 0, new int[] { V, pred != null ? 1 : 0 });
+            writeInts(ch, 8, dist);
+            if (pred != null)
+                writeInts(ch, 8 + matrix, pred);
+        }
+    }
+
+    // write a to the channel from byte pos, mapping at most WINDOW bytes at a time
+    private void writeInts(FileChannel ch, long pos, int[] a) throws IOException {
+        int step = WINDOW / 4;
+
+        for (int i = 0; i < a.length; i += step) {
+            int n = Math.min(step, a.length - i);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, pos + 4L * i, 4L * n);
+            IntBuffer ib = buf.asIntBuffer(); // MappedByteBuffer is big-endian by default
+            ib.put(a, i, n);
+            buf.force();
+        }
+    }
+
+    // convert vertex into char for pretty printing
+    private char toChar(int u) {
+        return (char) (u + 64);
+    }
+
+    // method to display the distance matrix, only practical for graphs labelled A to Z
+    public void display() {
+        System.out.println("\n\nAll-pairs shortest distances (" + (floyd ? "Floyd-Warshall" : "Dijkstra") + "):\n");
+        if (V > 26) {
+            System.out.println("Matrix has " + V + " vertices, too large to display");
+            return;
+        }
+
+        System.out.print("   ");
+        for (int v = 1; v <= V; v++)
+            System.out.printf("%4c", toChar(v));
+        System.out.println();
+
+        for (int u = 1; u <= V; u++) {
+            System.out.printf("%-3c", toChar(u));
+            for (int v = 1; v <= V; v++) {
+                int d = dist(u, v);
+                System.out.printf("%4s", d == INF ? "-" : Integer.toString(d));
+            }
+            System.out.println();
+        }
+    }
+
+    // Blocked Floyd-Warshall. For each diagonal block kb:
+    //   phase 1 updates block (kb,kb) on its own,
+    //   phase 2 updates the rest of block row kb and block column kb, which only need (kb,kb),
+    //   phase 3 updates every other block, which only needs the blocks from phase 2.
+    // Blocks within phases 2 and 3 are independent so they run in parallel.
+    private void floydWarshall() {
+        int n = V;
+        int nb = (n + B - 1) / B;
+
+        Arrays.fill(dist, INF);
+        for (int i = 0; i < n; i++)
+            dist[i * n + i] = 0;
+
+        // parallel edges keep the lightest
+        for (int u = 1; u <= V; u++) {
+            for (int e = first[u]; e < first[u + 1]; e++) {
+                int idx = (u - 1) * n + (target[e] - 1);
+                if (weight[e] < dist[idx])
+                    dist[idx] = weight[e];
+            }
+        }
+
+        for (int kb = 0; kb < nb; kb++) {
+            final int k = kb;
+
+            relaxBlock(k, k, k);
+
+            pool.invoke(new RangeTask(0, nb, 1) {
+                void run(int lo, int hi) {
+                    for (int b = lo; b < hi; b++) {
+                        if (b == k)
+                            continue;
+                        relaxBlock(k, b, k);
+                        relaxBlock(b, k, k);
+                    }
+                }
+            });
+
+            pool.invoke(new RangeTask(0, nb, 1) {
+                void run(int lo, int hi) {
+                    for (int ib = lo; ib < hi; ib++) {
+                        if (ib == k)
+                            continue;
+                        for (int jb = 0; jb < nb; jb++) {
+                            if (jb != k)
+                                relaxBlock(ib, jb, k);
+                        }
+                    }
+                }
+            });
+        }
+
+        if (pred != null)
+            shortestPathTrees();
+    }
+
+    // relax every path through the vertices of block kb, for i in block ib and j in block jb
+    private void relaxBlock(int ib, int jb, int kb) {
+        int n = V;
+        int iEnd = Math.min(n, (ib + 1) * B);
+        int jEnd = Math.min(n, (jb + 1) * B);
+        int kEnd = Math.min(n, (kb + 1) * B);
+
+        for (int k = kb * B; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = ib * B; i < iEnd; i++) {
+                int iRow = i * n;
+                int dik = dist[iRow + k];
+                if (dik == INF)
+                    continue;
+                // dkj < dij - dik is dik + dkj < dij without overflow,
+                // since 0 <= dik and dij <= INF
+                for (int j = jb * B; j < jEnd; j++) {
+                    int dkj = dist[kRow + j];
+                    if (dkj != INF && dkj < dist[iRow + j] - dik)
+                        dist[iRow + j] = dik + dkj;
+                }
+            }
+        }
+    }
+
+    // Predecessor rows for Floyd-Warshall, built once the distances are final.
+    // Tracking predecessors inside the relaxation can leave cycles when zero-weight
+    // edges tie, so each source gets a breadth-first search over its tight edges
+    // (dist[s][x] + w == dist[s][y]), which reaches every vertex exactly once.
+    private void shortestPathTrees() {
+        int grain = Math.max(GRAIN, V / (4 * pool.getParallelism()));
+
+        pool.invoke(new RangeTask(1, V + 1, grain) {
+            void run(int lo, int hi) {
+                int[] queue = new int[V];
+
+                for (int s = lo; s < hi; s++)
+                    shortestPathTree(s, queue);
+            }
+        });
+    }
+
+    private void shortestPathTree(int s, int[] queue) {
+        int row = (s - 1) * V;
+        int head = 0, tail = 0;
+
+        for (int v = 1; v <= V; v++)
+            pred[row + v - 1] = -1;
+        pred[row + s - 1] = s;
+        queue[tail++] = s;
+
+        while (head < tail) {
+            int x = queue[head++];
+            int dx = dist[row + x - 1];
+
+            for (int e = first[x]; e < first[x + 1]; e++) {
+                int y = target[e];
+                if (pred[row + y - 1] == -1 && weight[e] == dist[row + y - 1] - dx) {
+                    pred[row + y - 1] = x;
+                    queue[tail++] = y;
+                }
+            }
+        }
+    }
+
+    // Dijkstra from every source, sources split across the fork-join pool in a few
+    // chunks per worker. Each leaf allocates its heap and scratch arrays once and
+    // reuses them for all of its sources.
+    private void dijkstraAll() {
+        int grain = Math.max(GRAIN, V / (4 * pool.getParallelism()));
+
+        pool.invoke(new RangeTask(1, V + 1, grain) {
+            void run(int lo, int hi) {
+                int[] d = new int[V + 1];
+                int[] parent = new int[V + 1];
+                // one spare slot: Heap.remove() clears a[N + 1] while the heap is full
+                Heap h = new Heap(V + 1, d, parent);
+
+                for (int s = lo; s < hi; s++)
+                    dijkstra(s, h, d, parent);
+            }
+        });
+    }
+
+    private void dijkstra(int s, Heap h, int[] d, int[] parent) {
+        int u, v, wgt;
+
+        for (v = 1; v <= V; v++) {
+            d[v] = INF;
+            parent[v] = -1;
+        }
+        d[s] = 0;
+
+        h.clear();
+        h.insert(s);
+
+        while (!h.isEmpty()) {
+            u = h.remove();
+
+            for (int e = first[u]; e < first[u + 1]; e++) {
+                v = target[e];
+                wgt = weight[e];
+                if (wgt < d[v] - d[u]) { // d[u] + wgt < d[v] without overflow
+                    boolean queued = d[v] != INF; // weights are non-negative, so v is still in the heap
+                    d[v] = d[u] + wgt;
+                    parent[v] = u;
+                    if (queued)
+                        h.siftUp(h.hPos[v]);
+                    else
+                        h.insert(v);
+                }
+            }
+        }
+
+        int row = (s - 1) * V;
+        for (v = 1; v <= V; v++)
+            dist[row + v - 1] = d[v];
+
+        // the parent array is this source's shortest path tree
+        if (pred != null) {
+            for (v = 1; v <= V; v++)
+                pred[row + v - 1] = parent[v];
+            pred[row + s - 1] = s;
+        }
+    }
+
+    // fork-join task over the half-open range [lo, hi), halving until it reaches the grain size
+    private static abstract class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int lo, hi, grain;
+
+        RangeTask(int _lo, int _hi, int _grain) {
+            lo = _lo;
+            hi = _hi;
+            grain = _grain;
+        }
+
+        abstract void run(int lo, int hi);
+
+        protected void compute() {
+            if (hi - lo <= grain) {
+                run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            RangeTask outer = this;
+            RangeTask left = new RangeTask(lo, mid, grain) {
+                void run(int l, int h) { outer.run(l, h); }
+            };
+            RangeTask right = new RangeTask(mid, hi, grain) {
+                void run(int l, int h) { outer.run(l, h); }
+            };
+            invokeAll(left, right);
+        }
+    }
+}
+
 public class GraphLists {
     public static void main(String[] args) throws IOException 
     {
@@ -375,6 +786,13 @@ public class GraphLists {
          // Perform a breadth-first search traversal of the graph, starting at vertex s
         g.BFS(s);
 
+        // Compute and display the all-pairs shortest path distance matrix if asked for,
+        // e.g. java GraphLists apsp
+        if (args.length > 0 && args[0].equals("apsp")) {
+            AllPairs ap = g.APSP(false);
+            ap.display();
+        }
+
 
         //close the scanner after use
         scanner.close();
@@ -0,0 +1,172 @@
+/* Program Title: External Kruskal Check
+
+    Description: Regression check for the ExternalKruskal class in Kruskals.java.
+    Random graph files are solved with the smallest memory budget, which spills many runs and forces
+    more than one merge pass, and the MST weight is compared with an in-memory Kruskal. The check also
+    makes sure disconnected graphs report no MST, that no run files are left in the spill directory
+    (even when reading the graph fails part way through), and that a truncated run file is an error.
+
+    Compile and run together with Kruskals.java:
+        javac Kruskals.java KruskalCheck.java
+        java KruskalCheck
+*/
+
+import java.io.*;
+import java.util.*;
+
+@SuppressWarnings("auxiliaryclass")
+public class KruskalCheck {
+    // smallest budget ExternalKruskal accepts
+    private static final long MIN_BUDGET = 1 << 17;
+
+    public static void main(String[] args) throws IOException {
+        Random rnd = new Random(42);
+        File dir = new File(System.getProperty("java.io.tmpdir"), "kruskal-check");
+        dir.mkdirs();
+
+        try {
+            int[][] sizes = { {13, 22}, {1000, 5000}, {5000, 60000}, {20000, 100000} };
+            for (int[] size : sizes)
+                checkMST(size[0], size[1], true, rnd, dir);
+
+            checkMST(2000, 10000, false, rnd, dir);
+            checkBadFile(dir);
+            checkTruncatedRun(dir);
+        } finally {
+            for (File f : dir.listFiles())
+                f.delete();
+            dir.delete();
+        }
+
+        System.out.println("ExternalKruskal check passed");
+    }
+
+    private static void checkMST(int V, int E, boolean connected, Random rnd, File dir) throws IOException {
+        int[] eu = new int[E], ev = new int[E], ew = new int[E];
+        int e = 0;
+
+        // a random spanning path keeps the graph connected, otherwise vertex V is left isolated
+        if (connected) {
+            for (int v = 2; v <= V; v++, e++) {
+                eu[e] = v - 1;
+                ev[e] = v;
+                ew[e] = rnd.nextInt(1000);
+            }
+        }
+        int last = connected ? V : V - 1;
+        while (e < E) {
+            eu[e] = 1 + rnd.nextInt(last);
+            ev[e] = 1 + rnd.nextInt(last);
+            ew[e] = rnd.nextInt(1000);
+            if (eu[e] != ev[e])
+                e++;
+        }
+
+        File graph = writeGraph(dir, V, eu, ev, ew);
+        File spill = new File(dir, "spill");
+        spill.mkdir();
+
+        Edge[] mst = new ExternalKruskal(graph.getPath(), MIN_BUDGET, spill).MST_Kruskal();
+        long expected = reference(V, eu, ev, ew);
+        String name = "V=" + V + " E=" + E;
+
+        if (expected < 0) {
+            if (mst != null)
+                throw new RuntimeException(name + ": disconnected graph should have no MST");
+        } else {
+            if (mst == null || mst.length != V - 1)
+                throw new RuntimeException(name + ": MST not found");
+            long sum = 0;
+            for (Edge t : mst)
+                sum += t.wgt;
+            if (sum != expected)
+                throw new RuntimeException(name + ": MST weight " + sum + ", expected " + expected);
+        }
+
+        if (spill.list().length != 0)
+            throw new RuntimeException(name + ": run files left in spill directory");
+        spill.delete();
+        graph.delete();
+    }
+
+    // a bad edge line after several runs have been spilled must still remove them
+    private static void checkBadFile(File dir) throws IOException {
+        File graph = new File(dir, "bad.txt");
+        try (PrintWriter w = new PrintWriter(new FileWriter(graph))) {
+            w.println("10 30000");
+            for (int i = 0; i < 29999; i++)
+                w.println((i % 9 + 1) + " " + (i % 9 + 2) + " " + i);
+            w.println("x y z");
+        }
+        File spill = new File(dir, "spill");
+        spill.mkdir();
+
+        try {
+            new ExternalKruskal(graph.getPath(), MIN_BUDGET, spill).MST_Kruskal();
+            throw new RuntimeException("bad edge line was not reported");
+        } catch (NumberFormatException ex) {
+            // expected
+        }
+
+        if (spill.list().length != 0)
+            throw new RuntimeException("run files left after a failed read");
+        spill.delete();
+        graph.delete();
+    }
+
+    // a run that ends part way through an edge record is an error, not the end of the run
+    private static void checkTruncatedRun(File dir) throws IOException {
+        File run = new File(dir, "truncated.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(run))) {
+            out.writeInt(1);
+            out.writeInt(2);
+            out.writeInt(3);
+            out.writeInt(4);
+        }
+
+        ExternalKruskal.RunReader r = new ExternalKruskal.RunReader(run);
+        if (!r.advance() || r.head.u != 1 || r.head.v != 2 || r.head.wgt != 3)
+            throw new RuntimeException("first edge of run not read");
+        try {
+            r.advance();
+            throw new RuntimeException("truncated run was not reported");
+        } catch (EOFException ex) {
+            throw new RuntimeException("truncated run reported as a clean end");
+        } catch (IOException ex) {
+            // expected
+        }
+        run.delete();
+    }
+
+    private static File writeGraph(File dir, int V, int[] eu, int[] ev, int[] ew) throws IOException {
+        File graph = File.createTempFile("graph", ".txt", dir);
+        try (PrintWriter w = new PrintWriter(new BufferedWriter(new FileWriter(graph)))) {
+            w.println(V + " " + eu.length);
+            for (int e = 0; e < eu.length; e++)
+                w.println(eu[e] + " " + ev[e] + " " + ew[e]);
+        }
+        return graph;
+    }
+
+    // in-memory Kruskal, -1 if the graph is not connected
+    private static long reference(int V, int[] eu, int[] ev, int[] ew) {
+        Integer[] order = new Integer[eu.length];
+        for (int e = 0; e < order.length; e++)
+            order[e] = e;
+        Arrays.sort(order, Comparator.comparingInt(e -> ew[e]));
+
+        UnionFindSets partition = new UnionFindSets(V);
+        long sum = 0;
+        int n = 0;
+
+        for (int e : order) {
+            int uSet = partition.findSet(eu[e]), vSet = partition.findSet(ev[e]);
+            if (uSet != vSet) {
+                partition.union(uSet, vSet);
+                sum += ew[e];
+                n++;
+            }
+        }
+        return n == V - 1 ? sum : -1;
+    }
+}
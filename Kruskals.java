@@ -11,15 +11,27 @@ The program consists of the following classes:
 2. Heap: Implements a binary heap data structure.
 3. UnionFindSets: Implements the Union-Find data structure.
  4. Graph: Represents the graph and contains the MST_Kruskal method to find the MST.
-5. Kruskals: Contains the main method to read the graph from a file and display the MST.
+5. ExternalKruskal: Streaming version of Kruskal's algorithm for edge files larger than memory.
+6. Kruskals: Contains the main method to read the graph from a file and display the MST.
  */
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 
 
 
@@ -245,6 +257,11 @@ class Graph {
     
 
      public void showMST() {
+         showMST(mst, V);
+     }
+
+     // shared with ExternalKruskal
+     public static void showMST(Edge[] mst, int V) {
          // Start showMST operation
          int sum = 0;
 
@@ -287,6 +304,269 @@ private void display() {
      }
  }
 
+// Kruskal's algorithm for edge files that do not fit in memory.
+// The edges are read in chunks that fit in the memory budget, each chunk is sorted
+// by weight and spilled to a temporary run file, and the runs are then merged in
+// weight order straight into UnionFindSets. Only the union-find arrays and the
+// V - 1 MST edges stay in memory, so the adjacency lists are never built.
+class ExternalKruskal {
+    // heap cost of one buffered edge: u, v and wgt ints plus one long sort key
+    private static final int EDGE_BYTES = 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // most runs open at once, well below the usual limit of 1024 open files
+    private static final int MAX_FAN_IN = 256;
+
+    private int V;
+    private long E; // may exceed the int range, only the vertices must fit in memory
+    private Edge[] mst;
+    private String graphFile;
+    private long memoryBudget;
+    private File spillDir;
+    private List<File> created = new ArrayList<>(); // every run file made, so none is left behind on failure
+
+    // memoryBudget is the number of bytes the edge chunks and merge buffers may use
+    public ExternalKruskal(String graphFile, long memoryBudget) {
+        this(graphFile, memoryBudget, new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalKruskal(String graphFile, long memoryBudget, File spillDir) {
+        if (memoryBudget < 2L * BUFFER_SIZE)
+            throw new IllegalArgumentException("Memory budget must be at least " + 2 * BUFFER_SIZE + " bytes");
+        this.graphFile = graphFile;
+        this.memoryBudget = memoryBudget;
+        this.spillDir = spillDir;
+    }
+
+    public Edge[] MST_Kruskal() throws IOException {
+        List<File> runs = new ArrayList<>();
+
+        try {
+            // Pass 1: split the edge file into sorted runs
+            makeRuns(runs);
+
+            // Merge groups of runs until they can all be open at once
+            // (one input buffer per open run plus one output buffer)
+            int fanIn = (int) Math.min(MAX_FAN_IN, Math.max(2, memoryBudget / BUFFER_SIZE - 1));
+            while (runs.size() > fanIn) {
+                List<File> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<File> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    merged.add(mergeRuns(group));
+                    deleteRuns(group);
+                }
+                runs = merged;
+            }
+
+            // Final pass: feed the edges to the partition in non-decreasing weight order
+            return mergeIntoMST(runs);
+        } finally {
+            deleteRuns(created);
+            created.clear();
+        }
+    }
+
+    private void makeRuns(List<File> runs) throws IOException {
+        int chunkSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, memoryBudget / EDGE_BYTES));
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(graphFile))) {
+            String splits = " +";
+            String line = reader.readLine();
+            if (line == null)
+                throw new IOException("Empty graph file: " + graphFile);
+            String[] parts = line.split(splits);
+
+            V = Integer.parseInt(parts[0]);
+            E = Long.parseLong(parts[1]);
+
+            // the chunk is kept in primitive arrays rather than Edge objects,
+            // so the budget holds as many edges as possible
+            int size = (int) Math.min(chunkSize, Math.max(1, E));
+            int[] cu = new int[size];
+            int[] cv = new int[size];
+            int[] cw = new int[size];
+            long[] key = new long[size];
+            int n = 0;
+            for (long e = 1; e <= E; ++e) {
+                line = reader.readLine();
+                if (line == null)
+                    throw new IOException("Expected " + E + " edges but found " + (e - 1));
+                parts = line.split(splits);
+                cu[n] = Integer.parseInt(parts[0]);
+                cv[n] = Integer.parseInt(parts[1]);
+                cw[n] = Integer.parseInt(parts[2]);
+                n++;
+
+                if (n == size) {
+                    runs.add(writeRun(cu, cv, cw, key, n));
+                    n = 0;
+                }
+            }
+            if (n > 0)
+                runs.add(writeRun(cu, cv, cw, key, n));
+        }
+    }
+
+    // sort the first n edges of the chunk by weight and spill them to a new run file
+    private File writeRun(int[] cu, int[] cv, int[] cw, long[] key, int n) throws IOException {
+        // weight in the high half and chunk index in the low half, so sorting
+        // the keys sorts by weight without any comparator or boxing
+        for (int i = 0; i < n; ++i)
+            key[i] = ((long) cw[i] << 32) | i;
+        Arrays.sort(key, 0, n);
+
+        File run = newRun();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE))) {
+            for (int k = 0; k < n; ++k) {
+                int i = (int) key[k];
+                out.writeInt(cu[i]);
+                out.writeInt(cv[i]);
+                out.writeInt(cw[i]);
+            }
+        }
+        return run;
+    }
+
+    // k-way merge of a group of runs into a single larger run
+    private File mergeRuns(List<File> group) throws IOException {
+        File run = newRun();
+        PriorityQueue<RunReader> pq = null;
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE))) {
+            pq = openRuns(group);
+            while (!pq.isEmpty()) {
+                RunReader r = pq.poll();
+                out.writeInt(r.head.u);
+                out.writeInt(r.head.v);
+                out.writeInt(r.head.wgt);
+                if (r.advance())
+                    pq.add(r);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // don't leave a partial run behind
+            run.delete();
+            throw ex;
+        } finally {
+            if (pq != null)
+                closeRuns(pq);
+        }
+        return run;
+    }
+
+    private File newRun() throws IOException {
+        File run = File.createTempFile("kruskal-run", ".bin", spillDir);
+        created.add(run);
+        return run;
+    }
+
+    // k-way merge of the final runs, adding each edge that joins two different sets
+    private Edge[] mergeIntoMST(List<File> runs) throws IOException {
+        int i = 0;
+        int uSet, vSet;
+        Edge e;
+        UnionFindSets partition = new UnionFindSets(V);
+        PriorityQueue<RunReader> pq = openRuns(runs);
+
+        mst = new Edge[Math.max(0, V - 1)];
+        try {
+            // stop as soon as the tree is complete; the remaining edges can only form cycles
+            while (i < V - 1 && !pq.isEmpty()) {
+                RunReader r = pq.poll();
+                e = r.head;
+                if (r.advance())
+                    pq.add(r);
+
+                uSet = partition.findSet(e.u);
+                vSet = partition.findSet(e.v);
+                if (uSet != vSet) {
+                    mst[i++] = e;
+                    partition.union(uSet, vSet);
+                }
+            }
+        } finally {
+            closeRuns(pq);
+        }
+
+        if (i != V - 1) {
+            System.out.print("MST not found\n");
+            return null;
+        }
+        return mst;
+    }
+
+    private PriorityQueue<RunReader> openRuns(List<File> runs) throws IOException {
+        PriorityQueue<RunReader> pq = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparingInt(r -> r.head.wgt));
+        try {
+            for (File run : runs) {
+                RunReader r = new RunReader(run);
+                if (r.advance())
+                    pq.add(r);
+                else
+                    r.close();
+            }
+        } catch (IOException ex) {
+            closeRuns(pq);
+            throw ex;
+        }
+        return pq;
+    }
+
+    private void closeRuns(PriorityQueue<RunReader> pq) {
+        for (RunReader r : pq)
+            r.close();
+        pq.clear();
+    }
+
+    private void deleteRuns(List<File> runs) {
+        for (File run : runs)
+            run.delete();
+    }
+
+    public void showMST() {
+        Graph.showMST(mst, V);
+    }
+
+    // sequential reader over one sorted run, holding only its current edge
+    static class RunReader {
+        private DataInputStream in;
+        public Edge head;
+
+        public RunReader(File run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(run), BUFFER_SIZE));
+        }
+
+        // load the next edge into head, returning false and closing the run at its end
+        public boolean advance() throws IOException {
+            int u;
+            try {
+                u = in.readInt();
+            } catch (EOFException ex) {
+                close();
+                return false;
+            }
+
+            // the end of the file inside a record means the run was cut short
+            try {
+                head = new Edge(u, in.readInt(), in.readInt());
+                return true;
+            } catch (EOFException ex) {
+                close();
+                throw new IOException("Truncated run file: edge record is incomplete");
+            }
+        }
+
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                System.out.println("Error closing run: " + ex.getMessage());
+            }
+        }
+    }
+}
+
 public class Kruskals {
      public static void main(String[] args) throws IOException {
        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))) {
@@ -294,6 +574,16 @@ public class Kruskals {
          System.out.print("Enter the name of the text file containing the graph: ");
          String fileName = reader.readLine();
   
+         // An optional memory budget in megabytes selects the streaming version,
+         // which never holds the whole edge list in memory
+         if (args.length > 0) {
+           long budget = Long.parseLong(args[0]) * 1024 * 1024;
+           ExternalKruskal xg = new ExternalKruskal(fileName, budget);
+           if (xg.MST_Kruskal() != null)
+             xg.showMST();
+           return;
+         }
+
          // Create a Graph object from the file
          Graph g = new Graph(fileName);
   